@@ -1,5 +1,8 @@
 package components.budgettracker;
 
+import components.simplereader.SimpleReader;
+import components.simplewriter.SimpleWriter;
+
 /**
  * Kernel interface for BudgetTracker.
  *
@@ -37,6 +40,79 @@ public interface BudgetTrackerKernel {
      */
     void addExpense(String category, String date, long amount);
 
+    /**
+     * Adds an expense entry to the tracker unless an entry with the same
+     * transaction id was already added, so re-imported or retried expenses are
+     * counted once.
+     *
+     * The tracker remembers each accepted id only by its 64-bit hash
+     * {@code hash(transactionId)}, so this.transactionIds is a set of hashes.
+     * A new id whose hash equals that of an earlier id is treated as a
+     * duplicate and dropped; among n remembered ids this happens with
+     * probability about n^2 / 2^65.
+     *
+     * @param transactionId
+     *            the unique id of the transaction (e.g., a bank reference)
+     * @param category
+     *            the category of the expense (e.g., "Food", "Rent")
+     * @param date
+     *            the date of the expense in format "YYYY-MM-DD"
+     * @param amount
+     *            the amount of the expense in cents
+     * @return true iff the expense was added
+     * @updates this.expenses, this.transactionIds
+     * @requires transactionId != null and amount >= 0
+     * @ensures if hash(transactionId) is not in #this.transactionIds then
+     *          (this.expenses[category][date] =
+     *          #this.expenses[category][date] + amount and
+     *          this.transactionIds = #this.transactionIds union
+     *          {hash(transactionId)} and addExpense = true) else (this = #this
+     *          and addExpense = false)
+     */
+    boolean addExpense(String transactionId, String category, String date,
+            long amount);
+
+    /**
+     * Saves the hashes of the transaction ids seen by the tracker so a tracker
+     * rebuilt later can keep ignoring them with
+     * {@link #readTransactionIds(SimpleReader)}.
+     *
+     * @param out
+     *            the output stream
+     * @updates out.content
+     * @requires out.is_open
+     * @ensures out.content = #out.content * [|this.transactionIds|, then the
+     *          hashes in this.transactionIds, one per line]
+     */
+    void writeTransactionIds(SimpleWriter out);
+
+    /**
+     * Restores transaction id hashes saved by
+     * {@link #writeTransactionIds(SimpleWriter)}, so expenses whose ids have
+     * those hashes are ignored by {@code addExpense}.
+     *
+     * @param in
+     *            the input stream
+     * @updates this.transactionIds, in
+     * @requires in.is_open
+     * @ensures in.content = <> and (if #in.content is in the format written
+     *          by writeTransactionIds then this.transactionIds =
+     *          #this.transactionIds union [the hashes saved in #in.content]
+     *          else (this.transactionIds = #this.transactionIds and an
+     *          IllegalArgumentException is thrown))
+     */
+    void readTransactionIds(SimpleReader in);
+
+    /**
+     * Reports the hashes of the transaction ids seen by the tracker, in
+     * ascending order, so two trackers can be compared by value.
+     *
+     * @return a new array of the hashes in this.transactionIds, sorted
+     * @ensures getTransactionIdHashes = [the hashes in this.transactionIds in
+     *          ascending order]
+     */
+    long[] getTransactionIdHashes();
+
     /**
      * Sets a budget limit for a specific category.
      *
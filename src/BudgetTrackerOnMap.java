@@ -2,6 +2,8 @@ package components.budgettracker;
 
 import components.map.Map;
 import components.map.Map1L;
+import components.simplereader.SimpleReader;
+import components.simplewriter.SimpleWriter;
 
 /**
  * {@code BudgetTracker} represented using OSU Map components.
@@ -10,12 +12,14 @@ import components.map.Map1L;
  *             0
  * @correspondence this.income = monthly income this.expenses = category → (date
  *                 → amount) this.budgetLimits = category → limit
+ *                 this.transactionIds = seenIds
  */
 public class BudgetTrackerOnMap extends BudgetTrackerKernel {
 
     private long income;
     private Map<String, Map<String, Long>> expenses;
     private Map<String, Long> budgetLimits;
+    private TransactionIdSet seenIds;
 
     /**
      * Creates initial representation.
@@ -24,6 +28,7 @@ public class BudgetTrackerOnMap extends BudgetTrackerKernel {
         this.income = 0;
         this.expenses = new Map1L<>();
         this.budgetLimits = new Map1L<>();
+        this.seenIds = new TransactionIdSet();
     }
 
     /**
@@ -54,6 +59,7 @@ public class BudgetTrackerOnMap extends BudgetTrackerKernel {
         this.income = localSource.income;
         this.expenses.transferFrom(localSource.expenses);
         this.budgetLimits.transferFrom(localSource.budgetLimits);
+        this.seenIds.transferFrom(localSource.seenIds);
     }
 
     // ===== Kernel Methods =====
@@ -81,6 +87,43 @@ public class BudgetTrackerOnMap extends BudgetTrackerKernel {
         }
     }
 
+    @Override
+    public final boolean addExpense(String transactionId, String category,
+            String date, long amount) {
+        assert transactionId != null
+                : "Violation of: transactionId is not null";
+        assert category != null
+                && date != null : "Violation of: category and date are not null";
+        assert amount >= 0 : "Violation of: amount >= 0";
+
+        boolean isNew = this.seenIds.add(transactionId);
+        if (isNew) {
+            this.addExpense(category, date, amount);
+        }
+        return isNew;
+    }
+
+    @Override
+    public final void writeTransactionIds(SimpleWriter out) {
+        assert out != null : "Violation of: out is not null";
+        assert out.isOpen() : "Violation of: out.is_open";
+
+        this.seenIds.writeTo(out);
+    }
+
+    @Override
+    public final void readTransactionIds(SimpleReader in) {
+        assert in != null : "Violation of: in is not null";
+        assert in.isOpen() : "Violation of: in.is_open";
+
+        this.seenIds.readFrom(in);
+    }
+
+    @Override
+    public final long[] getTransactionIdHashes() {
+        return this.seenIds.sortedHashes();
+    }
+
     @Override
     public final void setBudgetLimit(String category, long limit) {
         assert category != null : "Violation of: category is not null";
@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 import components.budgettracker.BudgetTracker;
 
 /**
@@ -22,7 +24,9 @@ public abstract class BudgetTrackerSecondary implements BudgetTracker {
             return this.getMonthlyIncome() == other.getMonthlyIncome()
                     && this.getBudgetSummary().equals(other.getBudgetSummary())
                     && this.getAllExpensesSummary()
-                            .equals(other.getAllExpensesSummary());
+                            .equals(other.getAllExpensesSummary())
+                    && Arrays.equals(this.getTransactionIdHashes(),
+                            other.getTransactionIdHashes());
         }
         return false;
     }
@@ -30,7 +34,8 @@ public abstract class BudgetTrackerSecondary implements BudgetTracker {
     @Override
     public int hashCode() {
         return Objects.hash(this.monthlyIncome, this.budgetLimits,
-                this.expenses);
+                this.expenses,
+                Arrays.hashCode(this.getTransactionIdHashes()));
     }
 
     /*
@@ -0,0 +1,435 @@
+package components.budgettracker;
+
+import java.util.Arrays;
+
+import components.simplereader.SimpleReader;
+import components.simplewriter.SimpleWriter;
+
+/**
+ * Compact set of transaction ids used to make expense ingestion idempotent.
+ *
+ * Each id is reduced to a 64-bit hash and stored in an open-addressing table
+ * of primitive {@code long}s with linear probing. Memory per id is 11 to 22
+ * bytes (an 8-byte slot at load factor 3/8 to 3/4), which keeps tens of
+ * millions of ids within a few hundred megabytes.
+ * Two distinct ids share a hash with probability about n^2 / 2^65, which is
+ * negligible for this use.
+ *
+ * @convention table.length is a power of two AND 16 <= table.length <= 2^30
+ *             AND size < table.length AND [size <= table.length * 3 / 4 unless
+ *             table.length = 2^30]
+ * @correspondence this = {id : hash(id) is in the non-empty slots of table}
+ */
+public final class TransactionIdSet {
+
+    /**
+     * Initial number of table slots.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Largest number of table slots (the largest power-of-two array length).
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Numerator of the largest load factor the table grows to avoid.
+     */
+    private static final int LOAD_FACTOR_NUMERATOR = 3;
+
+    /**
+     * Denominator of the largest load factor the table grows to avoid.
+     */
+    private static final int LOAD_FACTOR_DENOMINATOR = 4;
+
+    /**
+     * Marker for an empty table slot; hashes equal to it are remapped.
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * Hash stored in place of one equal to {@code EMPTY}.
+     */
+    private static final long EMPTY_SUBSTITUTE = 1L;
+
+    /**
+     * FNV-1a 64-bit offset basis.
+     */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /**
+     * FNV-1a 64-bit prime.
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Shift used by the murmur3 64-bit finalizer.
+     */
+    private static final int MIX_SHIFT = 33;
+
+    /**
+     * First multiplier of the murmur3 64-bit finalizer.
+     */
+    private static final long MIX_MULTIPLIER_1 = 0xff51afd7ed558ccdL;
+
+    /**
+     * Second multiplier of the murmur3 64-bit finalizer.
+     */
+    private static final long MIX_MULTIPLIER_2 = 0xc4ceb9fe1a85ec53L;
+
+    /**
+     * Radix of the hash values written by {@code writeTo}.
+     */
+    private static final int HEX_RADIX = 16;
+
+    /**
+     * Open-addressing table of id hashes.
+     */
+    private long[] table;
+
+    /**
+     * Number of ids in the set.
+     */
+    private int size;
+
+    /**
+     * Creates initial representation.
+     *
+     * @param capacity
+     *            number of table slots, a power of two
+     */
+    private void createNewRep(int capacity) {
+        this.table = new long[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public TransactionIdSet() {
+        this.createNewRep(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor for an empty set with {@code capacity} slots.
+     *
+     * @param capacity
+     *            number of table slots, a power of two
+     */
+    private TransactionIdSet(int capacity) {
+        this.createNewRep(capacity);
+    }
+
+    /**
+     * Reduces {@code id} to a non-empty 64-bit hash (FNV-1a followed by a
+     * murmur3 finalizer).
+     *
+     * @param id
+     *            the transaction id
+     * @return the hash of {@code id}
+     */
+    private static long hash(String id) {
+        long h = FNV_OFFSET_BASIS;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> MIX_SHIFT;
+        h *= MIX_MULTIPLIER_1;
+        h ^= h >>> MIX_SHIFT;
+        h *= MIX_MULTIPLIER_2;
+        h ^= h >>> MIX_SHIFT;
+        if (h == EMPTY) {
+            h = EMPTY_SUBSTITUTE;
+        }
+        return h;
+    }
+
+    /**
+     * Reports whether {@code count} hashes in {@code capacity} slots exceed
+     * the load factor.
+     *
+     * @param count
+     *            the number of hashes
+     * @param capacity
+     *            the number of slots
+     * @return true iff count / capacity > the load factor
+     */
+    private static boolean exceedsLoadFactor(int count, int capacity) {
+        return (long) count * LOAD_FACTOR_DENOMINATOR > (long) capacity
+                * LOAD_FACTOR_NUMERATOR;
+    }
+
+    /**
+     * Returns the smallest table length that holds {@code count} hashes
+     * without exceeding the load factor, or the maximum table length.
+     *
+     * @param count
+     *            the number of hashes
+     * @return the table length for {@code count} hashes
+     */
+    private static int capacityFor(int count) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < MAXIMUM_CAPACITY
+                && exceedsLoadFactor(count, capacity)) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns the slot holding {@code h}, or the empty slot where it belongs.
+     *
+     * @param h
+     *            the hash
+     * @return the slot index for {@code h}
+     */
+    private int slotOf(long h) {
+        int mask = this.table.length - 1;
+        int i = Long.hashCode(h) & mask;
+        while (this.table[i] != EMPTY && this.table[i] != h) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Inserts {@code h}, growing the table first if needed.
+     *
+     * @param h
+     *            the hash
+     * @return true iff {@code h} was not already present
+     */
+    private boolean addHash(long h) {
+        int slot = this.slotOf(h);
+        if (this.table[slot] == h) {
+            return false;
+        }
+        if (exceedsLoadFactor(this.size + 1, this.table.length)
+                && this.table.length < MAXIMUM_CAPACITY) {
+            this.resize(this.table.length * 2);
+            slot = this.slotOf(h);
+        }
+        this.table[slot] = h;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Moves the hashes into a table of {@code capacity} slots.
+     *
+     * @param capacity
+     *            number of table slots, a power of two and > size
+     */
+    private void resize(int capacity) {
+        long[] old = this.table;
+        this.createNewRep(capacity);
+        for (long h : old) {
+            if (h != EMPTY) {
+                this.table[this.slotOf(h)] = h;
+                this.size++;
+            }
+        }
+    }
+
+    /**
+     * Adds {@code id} to this if it is not already present.
+     *
+     * @param id
+     *            the transaction id
+     * @return true iff {@code id} was not already in this
+     * @updates this
+     * @requires id != null and |this| < 2^30 - 1
+     * @ensures this = #this union {id} and add = (id is not in #this)
+     */
+    public boolean add(String id) {
+        assert id != null : "Violation of: id is not null";
+        assert this.size < MAXIMUM_CAPACITY
+                - 1 : "Violation of: |this| < 2^30 - 1";
+        return this.addHash(hash(id));
+    }
+
+    /**
+     * Reports whether {@code id} is in this.
+     *
+     * @param id
+     *            the transaction id
+     * @return true iff {@code id} is in this
+     * @requires id != null
+     * @ensures contains = (id is in this)
+     */
+    public boolean contains(String id) {
+        assert id != null : "Violation of: id is not null";
+        long h = hash(id);
+        return this.table[this.slotOf(h)] == h;
+    }
+
+    /**
+     * Reports the hashes of the ids in this in ascending order; the order does
+     * not depend on the order the ids were added.
+     *
+     * @return a new array of the hashes in this, sorted
+     * @ensures sortedHashes = [the hashes of the ids in this in ascending
+     *          order]
+     */
+    public long[] sortedHashes() {
+        long[] result = new long[this.size];
+        int i = 0;
+        for (long h : this.table) {
+            if (h != EMPTY) {
+                result[i] = h;
+                i++;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Reports the number of ids in this.
+     *
+     * @return the size of this
+     * @ensures size = |this|
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Resets this to the empty set.
+     *
+     * @clears this
+     */
+    public void clear() {
+        this.createNewRep(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Sets this to {@code source} and resets {@code source} to the empty set.
+     *
+     * @param source
+     *            the set to transfer from
+     * @replaces this
+     * @clears source
+     * @requires source != null and source != this
+     * @ensures this = #source
+     */
+    public void transferFrom(TransactionIdSet source) {
+        assert source != null : "Violation of: source is not null";
+        assert source != this : "Violation of: source is not this";
+
+        this.table = source.table;
+        this.size = source.size;
+        source.createNewRep(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Writes the hashes in this to {@code out} so they can be restored with
+     * {@link #readFrom(SimpleReader)}: first the number of hashes in decimal,
+     * then one hexadecimal hash per line.
+     *
+     * @param out
+     *            the output stream
+     * @updates out.content
+     * @requires out.is_open
+     * @ensures out.content = #out.content * [|this|, then the hashes in this,
+     *          one per line]
+     */
+    public void writeTo(SimpleWriter out) {
+        assert out != null : "Violation of: out is not null";
+        assert out.isOpen() : "Violation of: out.is_open";
+
+        out.println(Integer.toString(this.size));
+        for (long h : this.table) {
+            if (h != EMPTY) {
+                out.println(Long.toUnsignedString(h, HEX_RADIX));
+            }
+        }
+    }
+
+    /**
+     * Adds the hashes written by {@link #writeTo(SimpleWriter)} to this.
+     *
+     * The count on the first line sizes the table once, so restoring into an
+     * empty set allocates a single table. Blank lines are skipped. A hash of
+     * 0, which {@code writeTo} never produces, is read as 1, the same value
+     * {@code hash} substitutes for it. If the count is missing or malformed,
+     * a hash line is not an unsigned hexadecimal value of at most 16 digits,
+     * or the number of hash lines differs from the count, an
+     * {@code IllegalArgumentException} is thrown after the whole stream has
+     * been read, and this is left unchanged.
+     *
+     * @param in
+     *            the input stream
+     * @updates this, in
+     * @requires in.is_open and |this| + [the count in in.content] < 2^30 - 1
+     * @ensures in.content = <> and (if #in.content is in the format written
+     *          by writeTo then this = #this union [the ids whose hashes are in
+     *          #in.content] else (this = #this and an IllegalArgumentException
+     *          is thrown))
+     */
+    public void readFrom(SimpleReader in) {
+        assert in != null : "Violation of: in is not null";
+        assert in.isOpen() : "Violation of: in.is_open";
+
+        String error = null;
+        int count = 0;
+        if (in.atEOS()) {
+            error = "Missing transaction id count";
+        } else {
+            String header = in.nextLine().trim();
+            try {
+                count = Integer.parseInt(header);
+                if (count < 0
+                        || (long) this.size + count >= MAXIMUM_CAPACITY - 1) {
+                    error = "Transaction id count out of range: " + header;
+                    count = 0;
+                }
+            } catch (NumberFormatException e) {
+                error = "Malformed transaction id count: " + header;
+            }
+        }
+        TransactionIdSet loaded = new TransactionIdSet(capacityFor(count));
+        int lines = 0;
+        while (!in.atEOS()) {
+            String line = in.nextLine().trim();
+            if (!line.isEmpty() && error == null) {
+                lines++;
+                if (lines > count) {
+                    error = "More transaction id hashes than the count "
+                            + count;
+                } else {
+                    try {
+                        long h = Long.parseUnsignedLong(line, HEX_RADIX);
+                        if (h == EMPTY) {
+                            h = EMPTY_SUBSTITUTE;
+                        }
+                        loaded.addHash(h);
+                    } catch (NumberFormatException e) {
+                        error = "Malformed transaction id hash: " + line;
+                    }
+                }
+            }
+        }
+        if (error == null && lines < count) {
+            error = "Fewer transaction id hashes than the count " + count;
+        }
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        if (this.size == 0) {
+            this.transferFrom(loaded);
+        } else {
+            int capacity = capacityFor(this.size + loaded.size);
+            if (capacity > this.table.length) {
+                this.resize(capacity);
+            }
+            for (long h : loaded.table) {
+                if (h != EMPTY) {
+                    this.addHash(h);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package components.budgettracker;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import components.simplereader.SimpleReader;
+import components.simplereader.SimpleReader1L;
+import components.simplewriter.SimpleWriter;
+import components.simplewriter.SimpleWriter1L;
+
+/**
+ * JUnit test fixture for the transaction id kernel methods of
+ * {@code BudgetTrackerOnMap}.
+ */
+public class BudgetTrackerOnMapTest {
+
+    /**
+     * Number of ids used by the persistence round-trip test.
+     */
+    private static final int MANY = 1000;
+
+    /**
+     * Amount in cents used by most tests.
+     */
+    private static final long AMOUNT = 1250;
+
+    /**
+     * Second amount in cents, different from {@code AMOUNT}.
+     */
+    private static final long OTHER_AMOUNT = 300;
+
+    /**
+     * Returns the path of a new temporary file that is deleted on exit.
+     *
+     * @return the file name
+     */
+    private static String tempFileName() {
+        try {
+            File f = File.createTempFile("budget-tracker-ids", ".txt");
+            f.deleteOnExit();
+            return f.getPath();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public final void testAddExpenseWithIdNew() {
+        BudgetTrackerOnMap t = new BudgetTrackerOnMap();
+        assertTrue(t.addExpense("tx-1", "Food", "2025-11-01", AMOUNT));
+        assertEquals(AMOUNT, t.getExpenseAmount("Food", "2025-11-01"));
+        assertEquals(AMOUNT, t.getCategoryExpense("Food"));
+    }
+
+    @Test
+    public final void testAddExpenseWithIdRepeat() {
+        BudgetTrackerOnMap t = new BudgetTrackerOnMap();
+        t.addExpense("tx-1", "Food", "2025-11-01", AMOUNT);
+        assertFalse(t.addExpense("tx-1", "Food", "2025-11-01", AMOUNT));
+        assertEquals(AMOUNT, t.getExpenseAmount("Food", "2025-11-01"));
+        assertEquals(AMOUNT, t.getCategoryExpense("Food"));
+    }
+
+    @Test
+    public final void testAddExpenseWithIdRepeatDifferentEntry() {
+        BudgetTrackerOnMap t = new BudgetTrackerOnMap();
+        t.addExpense("tx-1", "Food", "2025-11-01", AMOUNT);
+        assertFalse(
+                t.addExpense("tx-1", "Food", "2025-11-02", OTHER_AMOUNT));
+        assertEquals(AMOUNT, t.getCategoryExpense("Food"));
+        assertFalse(t.getExpenseDates("Food").contains("2025-11-02"));
+    }
+
+    @Test
+    public final void testAddExpenseWithDistinctIdsAccumulate() {
+        BudgetTrackerOnMap t = new BudgetTrackerOnMap();
+        assertTrue(t.addExpense("tx-1", "Food", "2025-11-01", AMOUNT));
+        assertTrue(
+                t.addExpense("tx-2", "Food", "2025-11-01", OTHER_AMOUNT));
+        assertEquals(AMOUNT + OTHER_AMOUNT,
+                t.getExpenseAmount("Food", "2025-11-01"));
+    }
+
+    @Test
+    public final void testAddExpenseWithoutIdRecordsNoId() {
+        BudgetTrackerOnMap t = new BudgetTrackerOnMap();
+        t.addExpense("Food", "2025-11-01", AMOUNT);
+        assertEquals(0, t.getTransactionIdHashes().length);
+        assertTrue(t.addExpense("tx-1", "Food", "2025-11-01", AMOUNT));
+        assertEquals(2 * AMOUNT, t.getExpenseAmount("Food", "2025-11-01"));
+    }
+
+    @Test
+    public final void testClearForgetsIds() {
+        BudgetTrackerOnMap t = new BudgetTrackerOnMap();
+        t.addExpense("tx-1", "Food", "2025-11-01", AMOUNT);
+        t.clear();
+        assertEquals(0, t.getTransactionIdHashes().length);
+        assertTrue(t.addExpense("tx-1", "Food", "2025-11-01", AMOUNT));
+        assertEquals(AMOUNT, t.getExpenseAmount("Food", "2025-11-01"));
+    }
+
+    @Test
+    public final void testTransferFromMovesIds() {
+        BudgetTrackerOnMap source = new BudgetTrackerOnMap();
+        BudgetTrackerOnMap target = new BudgetTrackerOnMap();
+        source.addExpense("tx-1", "Food", "2025-11-01", AMOUNT);
+        target.addExpense("tx-2", "Rent", "2025-11-01", OTHER_AMOUNT);
+
+        target.transferFrom(source);
+
+        assertFalse(target.addExpense("tx-1", "Food", "2025-11-01", AMOUNT));
+        assertEquals(AMOUNT, target.getExpenseAmount("Food", "2025-11-01"));
+        assertTrue(target.addExpense("tx-2", "Rent", "2025-11-01",
+                OTHER_AMOUNT));
+        assertEquals(0, source.getTransactionIdHashes().length);
+        assertTrue(source.addExpense("tx-1", "Food", "2025-11-01", AMOUNT));
+    }
+
+    @Test
+    public final void testWriteReadRejectsReimport() {
+        BudgetTrackerOnMap t = new BudgetTrackerOnMap();
+        for (int i = 0; i < MANY; i++) {
+            t.addExpense("tx-" + i, "Food", "2025-11-01", AMOUNT);
+        }
+        String name = tempFileName();
+        SimpleWriter out = new SimpleWriter1L(name);
+        t.writeTransactionIds(out);
+        out.close();
+
+        BudgetTrackerOnMap restored = new BudgetTrackerOnMap();
+        SimpleReader in = new SimpleReader1L(name);
+        restored.readTransactionIds(in);
+        in.close();
+
+        assertArrayEquals(t.getTransactionIdHashes(),
+                restored.getTransactionIdHashes());
+        for (int i = 0; i < MANY; i++) {
+            assertFalse(restored.addExpense("tx-" + i, "Food", "2025-11-01",
+                    AMOUNT));
+        }
+        assertEquals(0, restored.getCategories().size());
+        assertTrue(restored.addExpense("tx-" + MANY, "Food", "2025-11-01",
+                AMOUNT));
+        assertEquals(AMOUNT, restored.getCategoryExpense("Food"));
+    }
+
+    @Test
+    public final void testGetTransactionIdHashesIgnoresInsertionOrder() {
+        BudgetTrackerOnMap forward = new BudgetTrackerOnMap();
+        BudgetTrackerOnMap backward = new BudgetTrackerOnMap();
+        for (int i = 0; i < MANY; i++) {
+            forward.addExpense("tx-" + i, "Food", "2025-11-01", AMOUNT);
+            backward.addExpense("tx-" + (MANY - 1 - i), "Food", "2025-11-01",
+                    AMOUNT);
+        }
+        assertArrayEquals(forward.getTransactionIdHashes(),
+                backward.getTransactionIdHashes());
+    }
+}
@@ -0,0 +1,335 @@
+package components.budgettracker;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import components.simplereader.SimpleReader;
+import components.simplereader.SimpleReader1L;
+import components.simplewriter.SimpleWriter;
+import components.simplewriter.SimpleWriter1L;
+
+/**
+ * JUnit test fixture for {@code TransactionIdSet}.
+ */
+public class TransactionIdSetTest {
+
+    /**
+     * Number of ids used by the growth tests; well past the initial 16 slots.
+     */
+    private static final int MANY = 5000;
+
+    /**
+     * Returns the path of a new temporary file that is deleted on exit.
+     *
+     * @return the file name
+     */
+    private static String tempFileName() {
+        try {
+            File f = File.createTempFile("transaction-ids", ".txt");
+            f.deleteOnExit();
+            return f.getPath();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Writes {@code s} to a temporary file and returns its name.
+     *
+     * @param s
+     *            the set to write
+     * @return the file name
+     */
+    private static String writeToFile(TransactionIdSet s) {
+        String name = tempFileName();
+        SimpleWriter out = new SimpleWriter1L(name);
+        s.writeTo(out);
+        out.close();
+        return name;
+    }
+
+    /**
+     * Writes {@code content} to a temporary file and returns its name.
+     *
+     * @param content
+     *            the lines to write
+     * @return the file name
+     */
+    private static String fileWith(String... content) {
+        String name = tempFileName();
+        SimpleWriter out = new SimpleWriter1L(name);
+        for (String line : content) {
+            out.println(line);
+        }
+        out.close();
+        return name;
+    }
+
+    /**
+     * Checks that reading {@code name} into a set holding "tx-1" throws
+     * {@code IllegalArgumentException}, consumes the stream, and leaves the set
+     * unchanged.
+     *
+     * @param name
+     *            the file name
+     */
+    private static void assertReadRejected(String name) {
+        TransactionIdSet s = new TransactionIdSet();
+        s.add("tx-1");
+        SimpleReader in = new SimpleReader1L(name);
+        boolean thrown = false;
+        try {
+            s.readFrom(in);
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        assertTrue(in.atEOS());
+        in.close();
+
+        assertEquals(1, s.size());
+        assertTrue(s.contains("tx-1"));
+    }
+
+    @Test
+    public final void testConstructor() {
+        TransactionIdSet s = new TransactionIdSet();
+        assertEquals(0, s.size());
+        assertFalse(s.contains("tx-1"));
+    }
+
+    @Test
+    public final void testAddNew() {
+        TransactionIdSet s = new TransactionIdSet();
+        assertTrue(s.add("tx-1"));
+        assertEquals(1, s.size());
+        assertTrue(s.contains("tx-1"));
+    }
+
+    @Test
+    public final void testAddDuplicate() {
+        TransactionIdSet s = new TransactionIdSet();
+        s.add("tx-1");
+        assertFalse(s.add("tx-1"));
+        assertEquals(1, s.size());
+        assertTrue(s.contains("tx-1"));
+    }
+
+    @Test
+    public final void testAddEmptyId() {
+        TransactionIdSet s = new TransactionIdSet();
+        assertTrue(s.add(""));
+        assertFalse(s.add(""));
+        assertEquals(1, s.size());
+    }
+
+    @Test
+    public final void testGrowthKeepsEveryId() {
+        TransactionIdSet s = new TransactionIdSet();
+        for (int i = 0; i < MANY; i++) {
+            assertTrue(s.add("tx-" + i));
+        }
+        assertEquals(MANY, s.size());
+        for (int i = 0; i < MANY; i++) {
+            assertTrue(s.contains("tx-" + i));
+        }
+    }
+
+    @Test
+    public final void testGrowthRejectsDuplicates() {
+        TransactionIdSet s = new TransactionIdSet();
+        for (int i = 0; i < MANY; i++) {
+            s.add("tx-" + i);
+        }
+        for (int i = 0; i < MANY; i++) {
+            assertFalse(s.add("tx-" + i));
+        }
+        assertEquals(MANY, s.size());
+    }
+
+    @Test
+    public final void testGrowthNoFalseContains() {
+        TransactionIdSet s = new TransactionIdSet();
+        for (int i = 0; i < MANY; i++) {
+            s.add("tx-" + i);
+        }
+        for (int i = MANY; i < 2 * MANY; i++) {
+            assertFalse(s.contains("tx-" + i));
+        }
+    }
+
+    @Test
+    public final void testSortedHashesIgnoresInsertionOrder() {
+        TransactionIdSet forward = new TransactionIdSet();
+        TransactionIdSet backward = new TransactionIdSet();
+        for (int i = 0; i < MANY; i++) {
+            forward.add("tx-" + i);
+            backward.add("tx-" + (MANY - 1 - i));
+        }
+        long[] hashes = forward.sortedHashes();
+        assertEquals(MANY, hashes.length);
+        assertArrayEquals(hashes, backward.sortedHashes());
+        for (int i = 1; i < hashes.length; i++) {
+            assertTrue(hashes[i - 1] < hashes[i]);
+        }
+    }
+
+    @Test
+    public final void testSortedHashesEmpty() {
+        assertEquals(0, new TransactionIdSet().sortedHashes().length);
+    }
+
+    @Test
+    public final void testClear() {
+        TransactionIdSet s = new TransactionIdSet();
+        for (int i = 0; i < MANY; i++) {
+            s.add("tx-" + i);
+        }
+        s.clear();
+        assertEquals(0, s.size());
+        assertFalse(s.contains("tx-0"));
+        assertTrue(s.add("tx-0"));
+    }
+
+    @Test
+    public final void testTransferFrom() {
+        TransactionIdSet s = new TransactionIdSet();
+        TransactionIdSet source = new TransactionIdSet();
+        s.add("old");
+        for (int i = 0; i < MANY; i++) {
+            source.add("tx-" + i);
+        }
+        s.transferFrom(source);
+        assertEquals(MANY, s.size());
+        assertFalse(s.contains("old"));
+        for (int i = 0; i < MANY; i++) {
+            assertTrue(s.contains("tx-" + i));
+        }
+        assertEquals(0, source.size());
+        assertFalse(source.contains("tx-0"));
+        assertTrue(source.add("tx-0"));
+    }
+
+    @Test
+    public final void testWriteReadRoundTrip() {
+        TransactionIdSet s = new TransactionIdSet();
+        for (int i = 0; i < MANY; i++) {
+            s.add("tx-" + i);
+        }
+        String name = writeToFile(s);
+
+        TransactionIdSet restored = new TransactionIdSet();
+        SimpleReader in = new SimpleReader1L(name);
+        restored.readFrom(in);
+        in.close();
+
+        assertEquals(s.size(), restored.size());
+        for (int i = 0; i < MANY; i++) {
+            assertTrue(restored.contains("tx-" + i));
+            assertFalse(restored.add("tx-" + i));
+        }
+        assertFalse(restored.contains("tx-" + MANY));
+    }
+
+    @Test
+    public final void testWriteReadEmpty() {
+        String name = writeToFile(new TransactionIdSet());
+
+        TransactionIdSet restored = new TransactionIdSet();
+        SimpleReader in = new SimpleReader1L(name);
+        restored.readFrom(in);
+        in.close();
+
+        assertEquals(0, restored.size());
+    }
+
+    @Test
+    public final void testReadMergeGrowsExisting() {
+        TransactionIdSet saved = new TransactionIdSet();
+        for (int i = 0; i < MANY; i++) {
+            saved.add("tx-" + i);
+        }
+        String name = writeToFile(saved);
+
+        TransactionIdSet s = new TransactionIdSet();
+        s.add("other");
+        SimpleReader in = new SimpleReader1L(name);
+        s.readFrom(in);
+        in.close();
+
+        assertEquals(MANY + 1, s.size());
+        assertTrue(s.contains("other"));
+        for (int i = 0; i < MANY; i++) {
+            assertTrue(s.contains("tx-" + i));
+        }
+    }
+
+    @Test
+    public final void testReadMergesIntoExisting() {
+        TransactionIdSet saved = new TransactionIdSet();
+        saved.add("tx-1");
+        saved.add("tx-2");
+        String name = writeToFile(saved);
+
+        TransactionIdSet s = new TransactionIdSet();
+        s.add("tx-2");
+        s.add("tx-3");
+        SimpleReader in = new SimpleReader1L(name);
+        s.readFrom(in);
+        in.close();
+
+        assertEquals(3, s.size());
+        assertTrue(s.contains("tx-1"));
+        assertTrue(s.contains("tx-2"));
+        assertTrue(s.contains("tx-3"));
+    }
+
+    @Test
+    public final void testReadZeroAndBlankLines() {
+        String name = fileWith("2", "", "0", "  ", "0");
+
+        TransactionIdSet s = new TransactionIdSet();
+        SimpleReader in = new SimpleReader1L(name);
+        s.readFrom(in);
+        in.close();
+
+        assertEquals(1, s.size());
+    }
+
+    @Test
+    public final void testReadMalformedLeavesSetUnchanged() {
+        assertReadRejected(fileWith("3", "1a2b", "not-hex", "3c4d"));
+    }
+
+    @Test
+    public final void testReadMissingCountRejected() {
+        assertReadRejected(fileWith());
+    }
+
+    @Test
+    public final void testReadMalformedCountRejected() {
+        assertReadRejected(fileWith("two", "1a2b", "3c4d"));
+    }
+
+    @Test
+    public final void testReadNegativeCountRejected() {
+        assertReadRejected(fileWith("-1"));
+    }
+
+    @Test
+    public final void testReadFewerHashesThanCountRejected() {
+        assertReadRejected(fileWith("3", "1a2b", "3c4d"));
+    }
+
+    @Test
+    public final void testReadMoreHashesThanCountRejected() {
+        assertReadRejected(fileWith("1", "1a2b", "3c4d"));
+    }
+}